@@ -19,6 +19,55 @@ tasks.withType<JavaExec> {
 	standardInput = System.`in`
 }
 
+// performance harnesses, not part of the published artifact; run on the class path
+val perf: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+configurations[perf.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[perf.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+tasks.named<JavaCompile>(perf.compileJavaTaskName) {
+	options.encoding = "UTF-8"
+	options.compilerArgs.addAll(listOf(
+		"-Xlint:all",
+		"-Xlint:-options"
+	))
+}
+
+// keep the harnesses compiling as part of the regular build
+tasks.check {
+	dependsOn(perf.classesTaskName)
+}
+
+tasks.register<JavaExec>("perfSuite") {
+	group = "verification"
+	description = "Runs the end-to-end client performance suite against an in-process test network"
+	classpath = perf.runtimeClasspath
+	mainClass.set("io.calimero.testnetwork.perf.PerformanceSuite")
+}
+
+tasks.register<JavaExec>("discoveryStorm") {
+	group = "verification"
+	description = "Measures KNXnet/IP discovery against a growing number of in-process servers"
+	classpath = perf.runtimeClasspath
+	mainClass.set("io.calimero.testnetwork.perf.DiscoveryStorm")
+}
+
+tasks.register<JavaExec>("scanScenario") {
+	group = "verification"
+	description = "Measures individual address scans of sparse and dense lines on an in-process test network"
+	classpath = perf.runtimeClasspath
+	mainClass.set("io.calimero.testnetwork.perf.ScanScenario")
+}
+
+tasks.register<JavaExec>("monitorFanOut") {
+	group = "verification"
+	description = "Measures bus monitor fan-out to concurrent monitor clients of an in-process test network"
+	classpath = perf.runtimeClasspath
+	mainClass.set("io.calimero.testnetwork.perf.MonitorFanOut")
+}
+
 tasks.compileJava {
 	options.encoding = "UTF-8"
 }
@@ -0,0 +1,289 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import io.calimero.KNXException;
+import io.calimero.log.LogService;
+
+/**
+ * Resource accounting of the virtual devices in the test network, per device and subsystem.
+ * <p>
+ * A device is created in the subsystems <i>logic</i> (datapoint model and datapoint state), <i>link</i> (device link
+ * on the virtual subnet), and <i>device</i>. The device subsystem includes interface object server, memory, and
+ * transport layer, because these are created together in the device constructor and can't be measured separately.
+ * For every subsystem, the following is accounted:
+ * <ul>
+ *   <li>heap allocated by the creating thread while creating the subsystem</li>
+ *   <li>threads started while creating the subsystem, their allocated heap (including threads which ended since),
+ *   and their allocation rate since the last report</li>
+ *   <li>optionally, the retained heap, measured as heap usage difference after garbage collection; because the server
+ *   is already running while devices are created, small subsystems are within measurement noise. Retained heap is
+ *   only measured if the system property <code>io.calimero.testnetwork.resources.measureHeap</code> is
+ *   <code>true</code>, it forces garbage collections during startup.</li>
+ * </ul>
+ * Threads started later and named after a device (matching the whole device name) are accounted to the device as
+ * <i>runtime</i>. A report is available on demand, and can be logged periodically using the system property
+ * <code>io.calimero.testnetwork.resources.interval</code> (report interval in seconds).
+ */
+final class ResourceAccounting implements AutoCloseable
+{
+	private static final Logger logger = LogService.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String RuntimeSubsystem = "runtime";
+	private static final Pattern nameSeparators = Pattern.compile("[^\\w-]+");
+
+	@FunctionalInterface
+	interface Subsystem<T> {
+		T create() throws KNXException;
+	}
+
+	private static final class Usage {
+		long retainedHeap = -1;
+		long creationAllocated;
+		// thread id -> last known allocated bytes, of threads alive at the last report
+		final Map<Long, Long> threads = new HashMap<>();
+		// allocated bytes of threads which ended
+		long endedAllocated;
+
+		long allocated() {
+			return endedAllocated + threads.values().stream().mapToLong(Long::longValue).sum();
+		}
+	}
+
+	// state for allocation rates, kept per report consumer, so that reports don't reset each other's rate window
+	private static final class RateWindow {
+		long start = System.nanoTime();
+		final Map<Usage, Long> allocated = new HashMap<>();
+		long otherAllocated;
+	}
+
+	private final boolean measureHeap = Boolean.getBoolean("io.calimero.testnetwork.resources.measureHeap");
+
+	private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+	private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	// allocation accounting requires the jdk.management module
+	private final com.sun.management.ThreadMXBean allocations =
+			threads instanceof final com.sun.management.ThreadMXBean t && t.isThreadAllocatedMemorySupported()
+					&& t.isThreadAllocatedMemoryEnabled() ? t : null;
+
+	// device name -> subsystem name -> usage
+	private final Map<String, Map<String, Usage>> devices = new LinkedHashMap<>();
+	private final RateWindow onDemand = new RateWindow();
+
+	private ScheduledExecutorService reporter;
+
+	/**
+	 * Creates a device subsystem and accounts its resources to the device.
+	 *
+	 * @param device device name
+	 * @param subsystem subsystem name
+	 * @param create creates the subsystem
+	 * @return the created subsystem
+	 * @throws KNXException on error creating the subsystem
+	 */
+	synchronized <T> T account(final String device, final String subsystem, final Subsystem<T> create)
+			throws KNXException {
+		final long heapBefore = measureHeap ? retainedHeap() : 0;
+		final Set<Long> threadsBefore = threadIds();
+		final long allocatedBefore = currentThreadAllocated();
+		final T t = create.create();
+		final long allocated = currentThreadAllocated() - allocatedBefore;
+		final Set<Long> started = threadIds();
+		started.removeAll(threadsBefore);
+
+		final var usage = usage(device, subsystem);
+		usage.creationAllocated += allocated;
+		started.forEach(id -> usage.threads.put(id, 0L));
+		update(usage, started);
+		if (measureHeap)
+			usage.retainedHeap = Math.max(0, usage.retainedHeap) + Math.max(0, retainedHeap() - heapBefore);
+		return t;
+	}
+
+	/**
+	 * Logs a resource report in the given interval.
+	 *
+	 * @param interval report interval
+	 */
+	synchronized void reportPeriodically(final Duration interval) {
+		if (reporter != null)
+			return;
+		reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+			final var t = new Thread(r, "Resource report");
+			t.setDaemon(true);
+			return t;
+		});
+		final var window = new RateWindow();
+		reporter.scheduleAtFixedRate(() -> logger.log(Level.INFO, "{0}", report(window)), interval.toMillis(),
+				interval.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns a resource report of all accounted devices; allocation rates refer to the time since the last call of
+	 * this method, independent of periodic reports.
+	 *
+	 * @return resource report
+	 */
+	synchronized String report() {
+		return report(onDemand);
+	}
+
+	private synchronized String report(final RateWindow window) {
+		final long now = System.nanoTime();
+		final double elapsed = Math.max(1, now - window.start) / 1e9;
+		window.start = now;
+
+		final Map<Long, String> liveThreads = Arrays.stream(threads.dumpAllThreads(false, false))
+				.collect(Collectors.toMap(ThreadInfo::getThreadId, ThreadInfo::getThreadName));
+		final Set<Long> attributed = new HashSet<>();
+		devices.values().forEach(subsystems -> subsystems.values().forEach(usage -> attributed.addAll(
+				usage.threads.keySet())));
+		liveThreads.forEach((id, name) -> {
+			if (attributed.contains(id))
+				return;
+			final Set<String> tokens = Set.of(nameSeparators.split(name));
+			for (final String device : devices.keySet()) {
+				if (tokens.contains(device)) {
+					usage(device, RuntimeSubsystem).threads.put(id, 0L);
+					attributed.add(id);
+					break;
+				}
+			}
+		});
+
+		devices.values().forEach(subsystems -> subsystems.values().forEach(usage -> update(usage,
+				liveThreads.keySet())));
+
+		final var sb = new StringBuilder("Device resources\n");
+		sb.append(String.format("%-12s %-10s %12s %14s %8s %16s %13s%n", "device", "subsystem", "heap [KiB]",
+				"created [KiB]", "threads", "allocated [KiB]", "rate [KiB/s]"));
+		long totalHeap = 0;
+		for (final var device : devices.entrySet()) {
+			for (final var subsystem : device.getValue().entrySet()) {
+				final var usage = subsystem.getValue();
+				totalHeap += Math.max(0, usage.retainedHeap);
+				final long allocated = usage.allocated();
+				final Long previous = window.allocated.put(usage, allocated);
+				final long delta = Math.max(0, allocated - (previous != null ? previous : 0));
+				final String heap = usage.retainedHeap < 0 ? "n/a" : String.format("%.1f", usage.retainedHeap / 1024d);
+				sb.append(String.format("%-12s %-10s %12s %14.1f %8d %16.1f %13.1f%n", device.getKey(),
+						subsystem.getKey(), heap, usage.creationAllocated / 1024d, usage.threads.size(),
+						allocated / 1024d, delta / 1024d / elapsed));
+			}
+		}
+
+		final Set<Long> other = new HashSet<>(liveThreads.keySet());
+		other.removeAll(attributed);
+		final long allocated = allocated(other);
+		final long delta = Math.max(0, allocated - window.otherAllocated);
+		window.otherAllocated = allocated;
+		sb.append(String.format("other threads: %d, allocation rate %.1f KiB/s%n", other.size(),
+				delta / 1024d / elapsed));
+		sb.append(String.format("devices: %d, retained %s; process: heap used %d KiB, threads %d", devices.size(),
+				measureHeap ? totalHeap / 1024 + " KiB" : "not measured", memory.getHeapMemoryUsage().getUsed() / 1024,
+				threads.getThreadCount()));
+		if (allocations == null)
+			sb.append("\n(thread allocation accounting not available)");
+		return sb.toString();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (reporter != null)
+			reporter.shutdownNow();
+	}
+
+	private Usage usage(final String device, final String subsystem) {
+		return devices.computeIfAbsent(device, k -> new LinkedHashMap<>()).computeIfAbsent(subsystem, k -> new Usage());
+	}
+
+	// updates the allocated bytes of the accounted threads, the last known bytes of ended threads are kept
+	private void update(final Usage usage, final Set<Long> liveThreads) {
+		final long[] ids = usage.threads.keySet().stream().mapToLong(Long::longValue).toArray();
+		final long[] bytes = allocations != null && ids.length > 0 ? allocations.getThreadAllocatedBytes(ids) : null;
+		for (int i = 0; i < ids.length; i++) {
+			final boolean ended = !liveThreads.contains(ids[i]) || bytes != null && bytes[i] < 0;
+			if (ended)
+				usage.endedAllocated += usage.threads.remove(ids[i]);
+			else if (bytes != null)
+				usage.threads.put(ids[i], bytes[i]);
+		}
+	}
+
+	private long currentThreadAllocated() {
+		return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : 0;
+	}
+
+	private long allocated(final Set<Long> ids) {
+		if (allocations == null || ids.isEmpty())
+			return 0;
+		final long[] bytes = allocations.getThreadAllocatedBytes(ids.stream().mapToLong(Long::longValue).toArray());
+		return Arrays.stream(bytes).filter(b -> b > 0).sum();
+	}
+
+	private Set<Long> threadIds() {
+		final Set<Long> ids = new HashSet<>();
+		for (final long id : threads.getAllThreadIds())
+			ids.add(id);
+		return ids;
+	}
+
+	private long retainedHeap() {
+		memory.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+}
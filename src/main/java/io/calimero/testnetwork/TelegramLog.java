@@ -0,0 +1,291 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.invoke.MethodHandles;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.KNXAddress;
+import io.calimero.KNXFormatException;
+import io.calimero.cemi.CEMI;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.log.LogService;
+
+/**
+ * Telegram log sink for the virtual subnet. Frames are only captured on the calling (link) thread and handed over to a
+ * bounded, lock-free queue; formatting and logging is done by a background thread. If the queue is full, the record is
+ * dropped and counted, and the number of dropped records is reported periodically and on close.
+ * <p>
+ * The sink is configured using the following system properties:
+ * <ul>
+ *   <li><code>io.calimero.testnetwork.telegramlog.sample</code>: log only every n-th telegram (default 1, i.e., log
+ *   every telegram)</li>
+ *   <li><code>io.calimero.testnetwork.telegramlog.filter</code>: comma-separated list of individual or group addresses,
+ *   only telegrams with a matching source or destination address are logged (default: no filter)</li>
+ *   <li><code>io.calimero.testnetwork.telegramlog.capacity</code>: queue capacity, rounded up to a power of 2 (default
+ *   8192)</li>
+ *   <li><code>io.calimero.testnetwork.telegramlog.quiet</code>: keep the calimero link and gateway loggers at level
+ *   info for debug verbosity (default <code>false</code>), see {@link TestNetwork#main(String[])}</li>
+ * </ul>
+ * Invalid property values are ignored with a warning, and the default is used instead.
+ * Telegrams are logged with level {@link Level#DEBUG}; if that level is not enabled, telegrams are ignored right away.
+ * <p>
+ * The sink does not replace the synchronous per-frame logging of the calimero link and gateway loggers, which also log
+ * connection setup and protocol errors; setting <code>quiet</code> turns that logging off for debug verbosity.
+ */
+final class TelegramLog implements NetworkLinkListener, AutoCloseable
+{
+	private static final Logger logger = LogService.getLogger(MethodHandles.lookup().lookupClass());
+
+	private static final String PropertyPrefix = "io.calimero.testnetwork.telegramlog.";
+	private static final int DefaultSampleRate = 1;
+	private static final int DefaultCapacity = 8192;
+
+	// interval [ms] of reporting dropped log records
+	private static final long DropReportInterval = 10_000;
+
+	// max. time [ms] to wait for the queue being drained on close
+	private static final long DrainTimeout = 1000;
+
+	private static final DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+	private record Entry(long timestamp, boolean confirmation, CEMI frame) {}
+
+	private final boolean enabled;
+	private final int sampleRate;
+	private final Set<KNXAddress> filter;
+
+	private final AtomicLong matched = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	private final RingBuffer<Entry> queue;
+	private final Thread consumer;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a telegram log configured by the <code>io.calimero.testnetwork.telegramlog.*</code> system properties.
+	 *
+	 * @return new telegram log, the background thread is already started
+	 */
+	static TelegramLog fromSystemProperties() {
+		final int sampleRate = positiveProperty("sample", DefaultSampleRate);
+		final int capacity = positiveProperty("capacity", DefaultCapacity);
+		final Set<KNXAddress> filter = new HashSet<>();
+		final String addresses = System.getProperty(PropertyPrefix + "filter", "");
+		for (final String s : addresses.split(",")) {
+			if (s.isBlank())
+				continue;
+			try {
+				filter.add(KNXAddress.create(s.strip()));
+			}
+			catch (final KNXFormatException e) {
+				logger.log(Level.WARNING, "ignore invalid telegram log filter address {0}", s);
+			}
+		}
+		return new TelegramLog(sampleRate, filter, capacity);
+	}
+
+	private static int positiveProperty(final String name, final int defaultValue) {
+		final String value = System.getProperty(PropertyPrefix + name);
+		if (value == null)
+			return defaultValue;
+		try {
+			final int i = Integer.parseInt(value.strip());
+			if (i >= 1)
+				return i;
+		}
+		catch (final NumberFormatException ignore) {}
+		logger.log(Level.WARNING, "ignore invalid telegram log {0} {1}, use {2}", name, value, defaultValue);
+		return defaultValue;
+	}
+
+	TelegramLog(final int sampleRate, final Set<KNXAddress> filter, final int capacity) {
+		if (sampleRate < 1)
+			throw new IllegalArgumentException("sample rate " + sampleRate + " < 1");
+		if (capacity < 1)
+			throw new IllegalArgumentException("queue capacity " + capacity + " < 1");
+		this.sampleRate = sampleRate;
+		this.filter = Set.copyOf(filter);
+		enabled = logger.isLoggable(Level.DEBUG);
+		queue = new RingBuffer<>(capacity);
+		consumer = new Thread(this::drain, "Telegram log");
+		consumer.setDaemon(true);
+		if (enabled)
+			consumer.start();
+	}
+
+	@Override
+	public void indication(final FrameEvent e) { log(false, e.getFrame()); }
+
+	@Override
+	public void confirmation(final FrameEvent e) { log(true, e.getFrame()); }
+
+	@Override
+	public void linkClosed(final CloseEvent e) { close(); }
+
+	/**
+	 * {@return the number of log records dropped because the queue was full}
+	 */
+	long dropped() { return dropped.get(); }
+
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		LockSupport.unpark(consumer);
+		try {
+			// let the consumer drain the queue and report dropped records
+			consumer.join(DrainTimeout);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void log(final boolean confirmation, final CEMI frame) {
+		if (!enabled || closed || !matches(frame))
+			return;
+		if (matched.getAndIncrement() % sampleRate != 0)
+			return;
+		if (!queue.offer(new Entry(System.currentTimeMillis(), confirmation, frame)))
+			dropped.incrementAndGet();
+	}
+
+	private boolean matches(final CEMI frame) {
+		if (filter.isEmpty())
+			return true;
+		return frame instanceof final CEMILData ldata
+				&& (filter.contains(ldata.getSource()) || filter.contains(ldata.getDestination()));
+	}
+
+	private void drain() {
+		long reported = 0;
+		long nextReport = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DropReportInterval);
+		while (!closed) {
+			final Entry entry = queue.poll();
+			if (entry != null)
+				logger.log(Level.DEBUG, format(entry));
+			else
+				LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+
+			if (System.nanoTime() - nextReport > 0) {
+				reported = reportDropped(reported);
+				nextReport = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DropReportInterval);
+			}
+		}
+		for (Entry entry = queue.poll(); entry != null; entry = queue.poll())
+			logger.log(Level.DEBUG, format(entry));
+		reportDropped(reported);
+	}
+
+	private long reportDropped(final long reported) {
+		final long total = dropped.get();
+		if (total > reported)
+			logger.log(Level.WARNING, "telegram log dropped {0} records ({1} total)", total - reported, total);
+		return total;
+	}
+
+	private static String format(final Entry entry) {
+		final LocalTime time = LocalTime.ofInstant(Instant.ofEpochMilli(entry.timestamp()), ZoneId.systemDefault());
+		return timeFormat.format(time) + (entry.confirmation() ? " con " : " ind ") + entry.frame();
+	}
+
+	// Bounded multi-producer queue based on the array queue by D. Vyukov; only a single consumer is supported
+	private static final class RingBuffer<E>
+	{
+		private final int mask;
+		private final AtomicReferenceArray<E> buffer;
+		private final AtomicLongArray sequences;
+		private final AtomicLong tail = new AtomicLong();
+		private long head;
+
+		RingBuffer(final int capacity) {
+			final int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+			mask = size - 1;
+			buffer = new AtomicReferenceArray<>(size);
+			sequences = new AtomicLongArray(size);
+			for (int i = 0; i < size; i++)
+				sequences.set(i, i);
+		}
+
+		boolean offer(final E e) {
+			long pos = tail.get();
+			while (true) {
+				final int idx = (int) (pos & mask);
+				final long diff = sequences.get(idx) - pos;
+				if (diff == 0) {
+					if (tail.compareAndSet(pos, pos + 1)) {
+						buffer.lazySet(idx, e);
+						sequences.set(idx, pos + 1);
+						return true;
+					}
+					pos = tail.get();
+				}
+				else if (diff < 0)
+					return false;
+				else
+					pos = tail.get();
+			}
+		}
+
+		E poll() {
+			final int idx = (int) (head & mask);
+			if (sequences.get(idx) != head + 1)
+				return null;
+			final E e = buffer.get(idx);
+			buffer.lazySet(idx, null);
+			sequences.set(idx, head + mask + 1);
+			head++;
+			return e;
+		}
+	}
+}
@@ -242,7 +242,7 @@ class TestDeviceLogic extends KnxDeviceServiceLogic
 		response[0] = 0xa;
 		final int tmedium = device.getDeviceLink().getKNXMedium().timeFactor();
 		final int wait = broadcast ? new Random().nextInt(10 * tmedium) : 0;
-		logger.log(Level.DEBUG, "add random wait time of " + wait + " ms before response");
+		logger.log(Level.DEBUG, "add random wait time of {0} ms before response", wait);
 		try {
 			Thread.sleep(wait);
 		}
@@ -354,7 +354,7 @@ class TestDeviceLogic extends KnxDeviceServiceLogic
 
 	private int onLinkResponse(final int flags, final Map<Integer, GroupAddress> groupObjects)
 	{
-		logger.log(Level.INFO, "link response: flags " + flags + " and group objects " + groupObjects);
+		logger.log(Level.INFO, "link response: flags {0} and group objects {1}", flags, groupObjects);
 		return 0;
 	}
 
@@ -48,6 +48,8 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.HexFormat;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import io.calimero.DataUnitBuilder;
 import io.calimero.DeviceDescriptor;
@@ -84,10 +86,19 @@ public class TestNetwork implements Runnable
 	// loop interval [ms] of issuing read/write datapoint requests to keep a "live" network
 	private static final int UpdateInterval = 10000;
 
-	static final IndividualAddress programmableDevice = new IndividualAddress(1, 1, 4);
-	static final IndividualAddress responderDevice = new IndividualAddress(1, 1, 5);
+	/** Address of the test device in programming mode. */
+	public static final IndividualAddress programmableDevice = new IndividualAddress(1, 1, 4);
+	/** Address of the test device responding to group value reads. */
+	public static final IndividualAddress responderDevice = new IndividualAddress(1, 1, 5);
 
 	private final String configURI;
+	private final boolean liveTraffic;
+
+	private final CountDownLatch running = new CountDownLatch(1);
+	private volatile boolean quit;
+	private volatile VirtualLink subnetLink;
+
+	private final ResourceAccounting resources = new ResourceAccounting();
 
 	/**
 	 * Main entry-point for running TestNetwork.<p>
@@ -100,6 +111,12 @@ public class TestNetwork implements Runnable
 	 *   <li><code>-v, -vv, -vvv:</code> set log verbosity (info, debug, or trace), overrides configured log level</li>
 	 *   <li><code>--no-stdin</code> ignored</li>
 	 * </ul>
+	 * On the command line, enter <code>stat</code> to print the gateway status, <code>res</code> to print a device
+	 * resource report, or <code>exit</code> to quit.<br>
+	 * At debug verbosity, telegrams on the virtual subnet are logged asynchronously, see the
+	 * <code>io.calimero.testnetwork.telegramlog.*</code> system properties for sampling and address filters. With
+	 * <code>io.calimero.testnetwork.telegramlog.quiet=true</code>, the calimero link and gateway loggers stay at info
+	 * level, unless explicitly configured.
 	 */
 	public static void main(final String[] args)
 	{
@@ -115,6 +132,9 @@ public class TestNetwork implements Runnable
 			final String level = vs.startsWith("-vvv") ? "TRACE" : vs.startsWith("-vv") ? "DEBUG" : "INFO";
 			System.setProperty("jdk.system.logger.level", level);
 			System.setProperty("org.slf4j.simpleLogger.defaultLogLevel", level);
+			// opt-in, per-frame logging is then only done asynchronously by the telegram log
+			if (!"INFO".equals(level) && Boolean.getBoolean("io.calimero.testnetwork.telegramlog.quiet"))
+				quietFrameLoggers();
 			optIdx++;
 		}
 
@@ -140,16 +160,72 @@ public class TestNetwork implements Runnable
 		new TestNetwork(configUri).run();
 	}
 
+	// calimero logger names (prefixes) which synchronously log every frame at debug and trace level
+	private static final List<String> frameLoggers = List.of("io.calimero.link", "io.calimero.knxnetip",
+			"io.calimero.server.gateway", "io.calimero.server.knxnetip");
+
+	// has to be called before the first logger lookup, explicitly configured logger levels are kept
+	private static void quietFrameLoggers() {
+		for (final String name : frameLoggers) {
+			final String key = "org.slf4j.simpleLogger.log." + name;
+			if (System.getProperty(key) == null)
+				System.setProperty(key, "info");
+		}
+	}
+
 	/**
 	 * Creates a new instance of the test network.
 	 *
 	 * @param configUri server config URI
 	 */
 	public TestNetwork(final String configUri)
+	{
+		this(configUri, true);
+	}
+
+	/**
+	 * Creates a new instance of the test network, optionally without the periodic group and system broadcast traffic
+	 * which keeps the network "live". Disable live traffic for in-process use where it would interfere with
+	 * measurements.
+	 *
+	 * @param configUri server config URI
+	 * @param liveTraffic <code>true</code> to periodically issue datapoint read/write requests and system broadcasts,
+	 *        <code>false</code> otherwise
+	 */
+	public TestNetwork(final String configUri, final boolean liveTraffic)
 	{
 		configURI = configUri;
+		this.liveTraffic = liveTraffic;
+	}
+
+	/**
+	 * Waits until the test network is up and running, for use when running the network in-process.
+	 *
+	 * @param timeout maximum time to wait
+	 * @return <code>true</code> if the network is running, <code>false</code> if the timeout elapsed
+	 * @throws InterruptedException on interrupted thread
+	 */
+	public boolean awaitRunning(final Duration timeout) throws InterruptedException {
+		return running.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
 	}
 
+	/**
+	 * Requests the test network to shut down, same as entering <code>exit</code> on the command line.
+	 */
+	public void quit() { quit = true; }
+
+	/**
+	 * {@return the virtual subnet link of the running test network, or <code>null</code> if the network is not
+	 * running yet}
+	 */
+	public VirtualLink subnetLink() { return subnetLink; }
+
+	/**
+	 * {@return report of the heap, threads, and allocation rate of the virtual devices, same as entering
+	 * <code>res</code> on the command line}
+	 */
+	public String resourceReport() { return resources.report(); }
+
 	@Override
 	public void run()
 	{
@@ -169,7 +245,8 @@ public class TestNetwork implements Runnable
 			}
 		}
 
-		try (var launcher = new Launcher(configURI)) {
+		// the telegram log is closed last, also if the network fails to start, so no queued records get lost
+		try (var telegramLog = TelegramLog.fromSystemProperties(); var launcher = new Launcher(configURI)) {
 			Executor.execute(launcher);
 			final var gw = launcher.getGateway();
 			final var server = gw.getServer();
@@ -183,6 +260,7 @@ public class TestNetwork implements Runnable
 			final List<SubnetConnector> connectors = gw.getSubnetConnectors();
 			@SuppressWarnings("unchecked")
 			final VirtualLink link = ((Connector.Link<VirtualLink>) connectors.getFirst().getSubnetLink()).target();
+			link.addLinkListener(telegramLog);
 
 			final KnxDevice d4 = createDevice(programmableDevice, link);
 			/*final KnxDevice d5 =*/ createDevice(responderDevice, link);
@@ -203,19 +281,27 @@ public class TestNetwork implements Runnable
 
 
 
+			subnetLink = link;
 			System.out.println("Test network is up and running");
+			running.countDown();
+
+			final int reportInterval = Integer.getInteger("io.calimero.testnetwork.resources.interval", 0);
+			if (reportInterval > 0)
+				resources.reportPeriodically(Duration.ofSeconds(reportInterval));
 
 			boolean state = true;
 			int intState = 13;
-			try (ProcessCommunicator pc = new ProcessCommunicatorImpl(d4.getDeviceLink())) {
-				while (true) {
+			try (resources; ProcessCommunicator pc = new ProcessCommunicatorImpl(d4.getDeviceLink())) {
+				while (!quit) {
 					final String s = readStdin(UpdateInterval);
-					if ("exit".equals(s))
+					if (quit || "exit".equals(s))
 						break;
 					if ("stat".equals(s))
 						System.out.println(gw);
+					if ("res".equals(s))
+						System.out.println(resources.report());
 
-					final boolean createReadWriteTraffic = true;
+					final boolean createReadWriteTraffic = liveTraffic;
 					if (createReadWriteTraffic) {
 						try {
 							state = !state;
@@ -234,7 +320,7 @@ public class TestNetwork implements Runnable
 							System.out.println(e);
 						}
 					}
-					final boolean createSystemBroadcasts = true;
+					final boolean createSystemBroadcasts = liveTraffic;
 					if (createSystemBroadcasts) {
 						sendSystemBroadcasts((BaseKnxDevice) d4);
 					}
@@ -248,14 +334,14 @@ public class TestNetwork implements Runnable
 
 	private static final BufferedReader stdin = new BufferedReader(new InputStreamReader(System.in));
 
-	private static String readStdin(final int timeout) throws InterruptedException, IOException {
+	private String readStdin(final int timeout) throws InterruptedException, IOException {
 		final long now = System.nanoTime();
 		final long end = now + timeout * 1_000_000L;
 
 		String line;
 		do {
 			while (!stdin.ready()) {
-				if (System.nanoTime() > end)
+				if (quit || System.nanoTime() > end)
 					return "";
 				Thread.sleep(200);
 			}
@@ -312,11 +398,13 @@ public class TestNetwork implements Runnable
 		}
 	}
 
-	private static KnxDevice createDevice(final IndividualAddress address, final VirtualLink downLink) throws KNXException
+	private KnxDevice createDevice(final IndividualAddress address, final VirtualLink downLink) throws KNXException
 	{
-		final TestDeviceLogic logic = new TestDeviceLogic();
-		final KNXNetworkLink devLink = downLink.createDeviceLink(address);
-		final var dev = new BaseKnxDevice("Device-" + address.getDevice(), logic, devLink);
+		final String name = "Device-" + address.getDevice();
+		final TestDeviceLogic logic = resources.account(name, "logic", TestDeviceLogic::new);
+		final KNXNetworkLink devLink = resources.account(name, "link", () -> downLink.createDeviceLink(address));
+		// interface object server, memory, and transport layer are created together, set up by the device logic
+		final var dev = resources.account(name, "device", () -> new BaseKnxDevice(name, logic, devLink));
 		final int last = address.getDevice() + 1;
 		final var serialNo = SerialNumber.from(new byte[] { 0x1, 0x2, 0x3, 0x4, 0x5, (byte) last });
 		final byte[] hardwareType = HexFormat.of().parseHex("00000000021A");
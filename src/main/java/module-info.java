@@ -41,4 +41,5 @@ module io.calimero.testnetwork {
 	requires io.calimero.core;
 	requires io.calimero.device;
 	requires io.calimero.server;
+	requires static jdk.management;
 }
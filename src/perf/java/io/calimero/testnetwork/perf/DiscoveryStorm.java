@@ -0,0 +1,222 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import io.calimero.KNXException;
+import io.calimero.internal.Executor;
+import io.calimero.knxnetip.Discoverer;
+import io.calimero.server.Launcher;
+import io.calimero.server.knxnetip.KNXnetIPServer;
+
+/**
+ * Discovery storm scenario: brings up a growing number of KNXnet/IP servers in-process, each answering search and
+ * description requests, and measures discovery from a client-side probe.
+ * <p>
+ * For every responder count, the probe runs a number of search rounds and reports the time until the last server
+ * responded, the number of lost search and description responses, and the CPU time spent per round. The reported CPU
+ * time is the process CPU time minus the CPU time of the probe thread, which polls for search responses and sends the
+ * description requests; it still includes the receiver threads of the probe. The
+ * responders use a minimal server configuration (only discovery and a tunneling control endpoint, without devices,
+ * routing, or bus monitoring), and are started using the server {@link Launcher}.
+ * <p>
+ * The scenario is configured using the following system properties:
+ * <ul>
+ *   <li><code>io.calimero.testnetwork.discovery.responders</code>: comma-separated, increasing list of responder counts
+ *   (default <code>10,50,100,200</code>)</li>
+ *   <li><code>io.calimero.testnetwork.discovery.rounds</code>: search rounds per responder count (default 5)</li>
+ *   <li><code>io.calimero.testnetwork.discovery.timeout</code>: search and description timeout in seconds (default
+ *   3)</li>
+ *   <li><code>io.calimero.testnetwork.discovery.netif</code>: network interface of responders and probe (default
+ *   <code>lo</code>); the interface has to support multicast, on Linux the loopback interface requires
+ *   <code>ip link set lo multicast on</code></li>
+ *   <li><code>io.calimero.testnetwork.discovery.port</code>: UDP port of the first responder control endpoint, the
+ *   following responders use consecutive ports (default 13671)</li>
+ * </ul>
+ */
+public final class DiscoveryStorm implements AutoCloseable
+{
+	private static final String PropertyPrefix = "io.calimero.testnetwork.discovery.";
+
+	private static final String ConfigTemplate = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<knxServer name="storm-%1$d" friendlyName="Discovery storm %1$d">
+				<discovery listenNetIf="%2$s" outgoingNetIf="%2$s" />
+				<serviceContainer activate="true" routing="false" networkMonitoring="false" netif="%2$s" udpPort="%3$d">
+					<knxAddress type="individual">%4$s</knxAddress>
+					<knxSubnet type="virtual" medium="tp1">storm-%1$d</knxSubnet>
+				</serviceContainer>
+			</knxServer>
+			""";
+
+	// interval [ms] of polling for new search responses
+	private static final int PollInterval = 2;
+
+	private final int rounds = Integer.getInteger(PropertyPrefix + "rounds", 5);
+	private final int timeout = Integer.getInteger(PropertyPrefix + "timeout", 3);
+	private final String netif = System.getProperty(PropertyPrefix + "netif", "lo");
+	private final int basePort = Integer.getInteger(PropertyPrefix + "port", 13671);
+
+	private final List<Launcher> responders = new ArrayList<>();
+	private final NetworkInterface ni;
+	private final InetAddress address;
+	private final Path configDir;
+
+	public static void main(final String[] args) throws InterruptedException {
+		final String counts = System.getProperty(PropertyPrefix + "responders", "10,50,100,200");
+		boolean completed = false;
+		try (var storm = new DiscoveryStorm()) {
+			System.out.println("responders  rounds  search p50 [ms]  search max [ms]  lost search  "
+					+ "description [ms]  lost description  cpu/round [ms]  cpu/response [µs]");
+			for (final String count : counts.split(","))
+				storm.run(Integer.parseInt(count.strip()));
+			completed = true;
+		}
+		catch (KNXException | IOException e) {
+			System.err.println(e.getMessage());
+		}
+		System.exit(completed ? 0 : 1);
+	}
+
+	private DiscoveryStorm() throws KNXException, IOException {
+		ni = NetworkInterface.getByName(netif);
+		if (ni == null)
+			throw new KNXException("network interface " + netif + " not found");
+		if (!ni.supportsMulticast())
+			throw new KNXException("network interface " + netif + " does not support multicast (for loopback on "
+					+ "Linux, enable it using 'ip link set lo multicast on')");
+		address = ni.inetAddresses().filter(Inet4Address.class::isInstance).findFirst()
+				.orElseThrow(() -> new KNXException("no IPv4 address on " + netif));
+		configDir = Files.createTempDirectory("discovery-storm");
+	}
+
+	private void run(final int count) throws KNXException, IOException, InterruptedException {
+		while (responders.size() < count)
+			startResponder(responders.size());
+
+		final var osBean = (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+		final var threadBean = ManagementFactory.getThreadMXBean();
+		final var searchLatency = new LatencyRecorder();
+		final var descriptionLatency = new LatencyRecorder();
+		int lostSearch = 0;
+		int lostDescription = 0;
+		final long cpuStart = osBean.getProcessCpuTime();
+		final long probeCpuStart = threadBean.getCurrentThreadCpuTime();
+
+		final var discoverer = new Discoverer(0, false);
+		for (int round = 0; round < rounds; round++) {
+			discoverer.clearSearchResponses();
+			final long start = System.nanoTime();
+			long lastResponse = start;
+			final Set<String> responded = new HashSet<>();
+			int seen = 0;
+			discoverer.startSearch(0, ni, timeout, false);
+			while (discoverer.isSearching() && responded.size() < count) {
+				Thread.sleep(PollInterval);
+				final var responses = discoverer.getSearchResponses();
+				for (int i = seen; i < responses.size(); i++)
+					if (responded.add(responses.get(i).response().getDevice().getName()))
+						lastResponse = System.nanoTime();
+				seen = responses.size();
+			}
+			discoverer.stopSearch();
+			searchLatency.record(lastResponse - start);
+			lostSearch += count - responded.size();
+
+			for (int i = 0; i < count; i++) {
+				final long begin = System.nanoTime();
+				try {
+					discoverer.getDescription(new InetSocketAddress(address, basePort + i), timeout);
+					descriptionLatency.record(System.nanoTime() - begin);
+				}
+				catch (final KNXException e) {
+					lostDescription++;
+				}
+			}
+		}
+
+		final long probeCpu = threadBean.getCurrentThreadCpuTime() - probeCpuStart;
+		final double cpuPerRound = (osBean.getProcessCpuTime() - cpuStart - probeCpu) / 1e6 / rounds;
+		final int responses = Math.max(1, 2 * count - (lostSearch + lostDescription) / rounds);
+		System.out.format(Locale.ROOT, "%10d  %6d  %15.1f  %15.1f  %11d  %16.3f  %16d  %14.1f  %17.1f%n", count, rounds,
+				searchLatency.percentile(50), searchLatency.max(), lostSearch, descriptionLatency.percentile(50),
+				lostDescription, cpuPerRound, cpuPerRound * 1000 / responses);
+	}
+
+	private void startResponder(final int index) throws KNXException, IOException, InterruptedException {
+		final String address = String.format("1.%d.%d", 2 + index / 250, 1 + index % 250);
+		final var config = configDir.resolve("storm-" + index + ".xml");
+		Files.writeString(config, String.format(ConfigTemplate, index, netif, basePort + index, address), UTF_8);
+
+		final var launcher = new Launcher(config.toString());
+		responders.add(launcher);
+		Executor.execute(launcher, "Discovery storm responder " + index);
+		final var server = launcher.getGateway().getServer();
+		while (server.state() == KNXnetIPServer.State.New || server.state() == KNXnetIPServer.State.Starting)
+			Thread.sleep(10);
+		if (server.state() != KNXnetIPServer.State.Running)
+			throw new KNXException("discovery storm responder " + index + " not started");
+	}
+
+	@Override
+	public void close() {
+		responders.forEach(Launcher::close);
+		try (var configs = Files.list(configDir)) {
+			for (final var config : (Iterable<Path>) configs::iterator)
+				Files.delete(config);
+			Files.delete(configDir);
+		}
+		catch (final IOException e) {
+			System.err.println("failed to delete " + configDir + ": " + e);
+		}
+	}
+}
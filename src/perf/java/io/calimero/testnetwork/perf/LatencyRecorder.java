@@ -0,0 +1,74 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import java.util.Arrays;
+
+/**
+ * Records latency samples in nanoseconds and provides percentiles in milliseconds. Not thread-safe, use one recorder
+ * per measuring thread.
+ */
+final class LatencyRecorder
+{
+	private long[] samples = new long[1024];
+	private int count;
+
+	void record(final long nanos) {
+		if (count == samples.length)
+			samples = Arrays.copyOf(samples, count * 2);
+		samples[count++] = nanos;
+	}
+
+	int count() { return count; }
+
+	/**
+	 * Returns the latency percentile using the nearest-rank method.
+	 *
+	 * @param percentile percentile in the range (0, 100]
+	 * @return latency in milliseconds, or 0 if no samples were recorded
+	 */
+	double percentile(final double percentile) {
+		if (count == 0)
+			return 0;
+		final long[] sorted = Arrays.copyOf(samples, count);
+		Arrays.sort(sorted);
+		final int rank = (int) Math.ceil(percentile / 100 * count);
+		return sorted[Math.max(0, rank - 1)] / 1_000_000d;
+	}
+
+	double max() { return percentile(100); }
+}
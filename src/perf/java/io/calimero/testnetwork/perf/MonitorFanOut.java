@@ -0,0 +1,265 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.GroupAddress;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.internal.Executor;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkMonitor;
+import io.calimero.link.KNXNetworkMonitorIP;
+import io.calimero.link.LinkListener;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.testnetwork.TestNetwork;
+
+/**
+ * Bus monitor fan-out scenario: starts the test network in-process, attaches a number of concurrent KNXnet/IP bus
+ * monitor clients, and drives group traffic on the virtual subnet. Every monitor is checked to receive every frame.
+ * The scenario reports per-monitor delivery latency and lost frames, as well as CPU time and heap allocations of the
+ * server per forwarded frame. Server cost includes all threads except the sending thread of the scenario and the
+ * monitor client threads, which are identified as the threads delivering monitor indications. The exit code is 1 if not
+ * all monitors connected, or if any monitor lost frames.
+ * <p>
+ * Traffic frames are group value writes to 7/7/200, which is not used by the test devices. The frame sequence number
+ * is part of the group value, so a monitor identifies frames in the raw frame without decoding it.
+ * <p>
+ * The scenario is configured using the following system properties:
+ * <ul>
+ *   <li><code>io.calimero.testnetwork.monitor.clients</code>: number of monitor clients (default 4), all of them have to
+ *   connect; every monitor connection uses one of the additional individual addresses of the server
+ *   configuration</li>
+ *   <li><code>io.calimero.testnetwork.monitor.frames</code>: number of frames sent on the subnet (default 2000)</li>
+ *   <li><code>io.calimero.testnetwork.monitor.rate</code>: frames per second, 0 sends as fast as possible (default
+ *   200)</li>
+ * </ul>
+ */
+public final class MonitorFanOut
+{
+	private static final String PropertyPrefix = "io.calimero.testnetwork.monitor.";
+
+	private static final GroupAddress trafficGroup = new GroupAddress(7, 7, 200);
+	private static final IndividualAddress trafficSource = new IndividualAddress(1, 1, 250);
+	// marker preceding the sequence number in the group value
+	private static final byte Marker0 = (byte) 0xca;
+	private static final byte Marker1 = (byte) 0xfe;
+
+	private static final Duration DrainTimeout = Duration.ofSeconds(5);
+
+	private final int clients = Integer.getInteger(PropertyPrefix + "clients", 4);
+	private final int frames = Integer.getInteger(PropertyPrefix + "frames", 2000);
+	private final int rate = Integer.getInteger(PropertyPrefix + "rate", 200);
+
+	private final AtomicLongArray sendTimes = new AtomicLongArray(frames);
+	// ids of the client threads delivering monitor indications
+	private final Set<Long> clientThreads = ConcurrentHashMap.newKeySet();
+
+	private final class Monitor implements LinkListener {
+		private final int id;
+		private final BitSet received = new BitSet(frames);
+		private final LatencyRecorder latencies = new LatencyRecorder();
+		private int duplicates;
+
+		Monitor(final int id) { this.id = id; }
+
+		@Override
+		public void indication(final FrameEvent e) {
+			final long now = System.nanoTime();
+			clientThreads.add(Thread.currentThread().threadId());
+			final int seq = sequence(e.getFrame().getPayload());
+			if (seq < 0 || seq >= frames)
+				return;
+			synchronized (this) {
+				if (received.get(seq))
+					duplicates++;
+				else {
+					received.set(seq);
+					latencies.record(now - sendTimes.get(seq));
+				}
+			}
+		}
+
+		@Override
+		public void linkClosed(final CloseEvent e) {}
+
+		synchronized int received() { return received.cardinality(); }
+
+		synchronized String report() {
+			return String.format(Locale.ROOT, "monitor %2d: received %d, lost %d, duplicates %d, latency p50 %.3f ms, "
+					+ "p99 %.3f ms, max %.3f ms", id, received.cardinality(), frames - received.cardinality(),
+					duplicates, latencies.percentile(50), latencies.percentile(99), latencies.max());
+		}
+	}
+
+	public static void main(final String[] args) throws InterruptedException {
+		final String configUri = args.length > 0 ? args[args.length - 1] : "server-config.xml";
+		final var network = new TestNetwork(configUri, false);
+		Executor.execute(network, "Test network");
+		boolean passed = false;
+		try {
+			if (!network.awaitRunning(Duration.ofSeconds(30))) {
+				System.err.println("Test network not running - exit");
+				return;
+			}
+			passed = new MonitorFanOut().run(network);
+		}
+		catch (final KNXException e) {
+			e.printStackTrace();
+		}
+		finally {
+			network.quit();
+			System.exit(passed ? 0 : 1);
+		}
+	}
+
+	private boolean run(final TestNetwork network) throws KNXException, InterruptedException {
+		final var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		final var local = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		final var server = new InetSocketAddress(InetAddress.getLoopbackAddress(), 3671);
+
+		final List<Monitor> monitors = new ArrayList<>();
+		final List<KNXNetworkMonitor> connections = new ArrayList<>();
+		try (KNXNetworkLink link = network.subnetLink().createDeviceLink(trafficSource)) {
+			for (int i = 0; i < clients; i++) {
+				try {
+					final var connection = new KNXNetworkMonitorIP(local, server, false, new TPSettings());
+					connection.setDecodeRawFrames(false);
+					final var monitor = new Monitor(i);
+					connection.addMonitorListener(monitor);
+					connections.add(connection);
+					monitors.add(monitor);
+				}
+				catch (final KNXException e) {
+					System.out.println("monitor " + i + " not connected: " + e.getMessage());
+				}
+			}
+			System.out.println(monitors.size() + " of " + clients + " monitors connected");
+			if (monitors.size() != clients)
+				return false;
+
+			final Map<Long, long[]> usageStart = threadUsage(threadBean);
+
+			final long start = System.nanoTime();
+			final long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+			for (int seq = 0; seq < frames; seq++) {
+				final long due = start + seq * interval;
+				while (System.nanoTime() < due)
+					LockSupport.parkNanos(due - System.nanoTime());
+				sendTimes.set(seq, System.nanoTime());
+				final byte[] tpdu = { 0x00, (byte) 0x80, Marker0, Marker1, (byte) (seq >> 24), (byte) (seq >> 16),
+					(byte) (seq >> 8), (byte) seq };
+				link.send(new CEMILData(CEMILData.MC_LDATA_REQ, trafficSource, trafficGroup, tpdu, Priority.LOW), false);
+			}
+			final double sendElapsed = (System.nanoTime() - start) / 1e9;
+
+			final long drainEnd = System.nanoTime() + DrainTimeout.toNanos();
+			while (System.nanoTime() < drainEnd && monitors.stream().anyMatch(m -> m.received() < frames))
+				Thread.sleep(10);
+
+			// the sending thread and threads of monitor clients are not accounted as server threads
+			final long sender = Thread.currentThread().threadId();
+			long cpu = 0;
+			long allocated = 0;
+			for (final var usage : threadUsage(threadBean).entrySet()) {
+				if (usage.getKey() == sender || clientThreads.contains(usage.getKey()))
+					continue;
+				final long[] start = usageStart.getOrDefault(usage.getKey(), new long[2]);
+				cpu += Math.max(0, usage.getValue()[0] - start[0]);
+				allocated += Math.max(0, usage.getValue()[1] - start[1]);
+			}
+
+			int lost = 0;
+			long forwarded = 0;
+			for (final var monitor : monitors) {
+				System.out.println(monitor.report());
+				lost += frames - monitor.received();
+				forwarded += monitor.received();
+			}
+			forwarded = Math.max(1, forwarded);
+			System.out.format(Locale.ROOT, "sent %d frames in %.2f s (%.1f frames/s) to %d monitors, %d frames lost%n",
+					frames, sendElapsed, frames / sendElapsed, monitors.size(), lost);
+			System.out.format(Locale.ROOT, "server: cpu %.1f µs, allocated %d bytes per forwarded frame%n",
+					cpu / 1e3 / forwarded, allocated / forwarded);
+			return lost == 0;
+		}
+		finally {
+			connections.forEach(KNXNetworkMonitor::close);
+		}
+	}
+
+	// returns the sequence number following the marker in a raw frame, or -1 if the frame is not ours
+	private static int sequence(final byte[] frame) {
+		for (int i = 0; i + 5 < frame.length; i++) {
+			if (frame[i] == Marker0 && frame[i + 1] == Marker1)
+				return (frame[i + 2] & 0xff) << 24 | (frame[i + 3] & 0xff) << 16 | (frame[i + 4] & 0xff) << 8
+						| frame[i + 5] & 0xff;
+		}
+		return -1;
+	}
+
+	// returns thread id -> { cpu time [ns], allocated bytes } of all live threads
+	private static Map<Long, long[]> threadUsage(final com.sun.management.ThreadMXBean threadBean) {
+		final long[] ids = threadBean.getAllThreadIds();
+		final long[] cpu = threadBean.getThreadCpuTime(ids);
+		final long[] allocated = threadBean.getThreadAllocatedBytes(ids);
+		final Map<Long, long[]> usage = new HashMap<>();
+		for (int i = 0; i < ids.length; i++)
+			if (cpu[i] >= 0 && allocated[i] >= 0)
+				usage.put(ids[i], new long[] { cpu[i], allocated[i] });
+		return usage;
+	}
+}
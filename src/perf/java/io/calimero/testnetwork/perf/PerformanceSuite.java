@@ -0,0 +1,336 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.internal.Executor;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.testnetwork.TestNetwork;
+
+/**
+ * End-to-end client performance suite. Starts the test network in-process, runs every {@link Workload} using
+ * calimero-core clients over KNXnet/IP tunneling and routing, and writes the results as JSON. The suite fails (exit
+ * code 1) if a transport link cannot be opened, or if the error rate of a workload exceeds the configured threshold.
+ * If a baseline is available, the suite also fails if a baseline workload was not measured, or if the throughput or
+ * p99 latency of a workload regresses past the configured thresholds.
+ * <p>
+ * Syntax: <code>PerformanceSuite [server config URI]</code>, the suite is configured using the following system
+ * properties:
+ * <ul>
+ *   <li><code>io.calimero.testnetwork.perf.iterations</code>: measured operations per workload (default 200)</li>
+ *   <li><code>io.calimero.testnetwork.perf.warmup</code>: unmeasured operations per workload (default 20)</li>
+ *   <li><code>io.calimero.testnetwork.perf.transports</code>: comma-separated list of transports (default
+ *   <code>tunneling,routing</code>); to skip routing where multicast is not available, set it to
+ *   <code>tunneling</code> (and use a baseline without routing results)</li>
+ *   <li><code>io.calimero.testnetwork.perf.results</code>: results file (default <code>build/perf/results.json</code>)</li>
+ *   <li><code>io.calimero.testnetwork.perf.baseline</code>: baseline file (default <code>perf-baseline.json</code>)</li>
+ *   <li><code>io.calimero.testnetwork.perf.updateBaseline</code>: store the results as new baseline (default
+ *   <code>false</code>)</li>
+ *   <li><code>io.calimero.testnetwork.perf.maxThroughputDrop</code>: allowed throughput drop in percent (default 20)</li>
+ *   <li><code>io.calimero.testnetwork.perf.maxP99Increase</code>: allowed p99 latency increase in percent (default
+ *   30)</li>
+ *   <li><code>io.calimero.testnetwork.perf.maxErrorRate</code>: allowed failed operations per workload in percent
+ *   (default 0)</li>
+ * </ul>
+ */
+public final class PerformanceSuite
+{
+	private static final String PropertyPrefix = "io.calimero.testnetwork.perf.";
+
+	private static final InetSocketAddress server = new InetSocketAddress(InetAddress.getLoopbackAddress(), 3671);
+	// routing client address on the backbone line, so that responses from line 1.1 are routed to IP
+	private static final IndividualAddress routingClient = new IndividualAddress(1, 0, 250);
+
+	private static final Duration ResponseTimeout = Duration.ofSeconds(2);
+
+	enum Transport {
+		Tunneling {
+			@Override
+			KNXNetworkLink open() throws KNXException, InterruptedException {
+				final var local = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+				return KNXNetworkLinkIP.newTunnelingLink(local, server, false, new TPSettings());
+			}
+		},
+		Routing {
+			@Override
+			KNXNetworkLink open() throws KNXException, InterruptedException {
+				try {
+					final var multicast = InetAddress.getByName("224.0.23.12");
+					return KNXNetworkLinkIP.newRoutingLink((NetworkInterface) null, multicast,
+							new TPSettings(routingClient));
+				}
+				catch (final IOException e) {
+					throw new KNXException("routing multicast group", e);
+				}
+			}
+		};
+
+		abstract KNXNetworkLink open() throws KNXException, InterruptedException;
+
+		static Transport of(final String name) {
+			for (final var t : values())
+				if (t.name().equalsIgnoreCase(name.strip()))
+					return t;
+			throw new IllegalArgumentException("unknown transport " + name);
+		}
+
+		@Override
+		public String toString() { return name().toLowerCase(Locale.ROOT); }
+	}
+
+	record Result(String workload, String transport, int operations, int errors, double throughput, double p50Ms,
+		double p99Ms, double maxMs) {
+
+		String key() { return workload + "/" + transport; }
+
+		String toJson() {
+			return String.format(Locale.ROOT, "{\"workload\": \"%s\", \"transport\": \"%s\", \"operations\": %d, "
+					+ "\"errors\": %d, \"throughput\": %.2f, \"p50Ms\": %.3f, \"p99Ms\": %.3f, \"maxMs\": %.3f}",
+					workload, transport, operations, errors, throughput, p50Ms, p99Ms, maxMs);
+		}
+	}
+
+	private static final Pattern resultPattern = Pattern.compile("\"workload\": \"([^\"]+)\", \"transport\": \"([^\"]+)\""
+			+ ".*\"throughput\": ([0-9.]+), \"p50Ms\": ([0-9.]+), \"p99Ms\": ([0-9.]+)");
+
+	private final int iterations = Integer.getInteger(PropertyPrefix + "iterations", 200);
+	private final int warmup = Integer.getInteger(PropertyPrefix + "warmup", 20);
+	private final double maxThroughputDrop = doubleProperty("maxThroughputDrop", 20);
+	private final double maxP99Increase = doubleProperty("maxP99Increase", 30);
+	private final double maxErrorRate = doubleProperty("maxErrorRate", 0);
+
+	public static void main(final String[] args) throws InterruptedException {
+		final String configUri = args.length > 0 ? args[args.length - 1] : "server-config.xml";
+		final var network = new TestNetwork(configUri, false);
+		Executor.execute(network, "Test network");
+		boolean passed = false;
+		try {
+			if (!network.awaitRunning(Duration.ofSeconds(30))) {
+				System.err.println("Test network not running - exit");
+				return;
+			}
+			passed = new PerformanceSuite().run();
+		}
+		catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+		}
+		finally {
+			network.quit();
+			System.exit(passed ? 0 : 1);
+		}
+	}
+
+	private boolean run() throws IOException, InterruptedException {
+		boolean passed = true;
+		final List<Result> results = new ArrayList<>();
+		for (final String name : System.getProperty(PropertyPrefix + "transports", "tunneling,routing").split(",")) {
+			final var transport = Transport.of(name);
+			try {
+				results.addAll(run(transport));
+			}
+			catch (final KNXException e) {
+				System.out.println(transport + ": failed to run workloads: " + e);
+				passed = false;
+			}
+		}
+		passed &= checkErrors(results);
+
+		final var resultsFile = Path.of(System.getProperty(PropertyPrefix + "results", "build/perf/results.json"));
+		writeResults(resultsFile, results);
+		System.out.println("Performance results written to " + resultsFile.toAbsolutePath());
+
+		final var baselineFile = Path.of(System.getProperty(PropertyPrefix + "baseline", "perf-baseline.json"));
+		if (Boolean.getBoolean(PropertyPrefix + "updateBaseline")) {
+			if (!passed) {
+				System.out.println("Baseline not updated, measurement incomplete or with errors");
+				return false;
+			}
+			writeResults(baselineFile, results);
+			System.out.println("Baseline updated " + baselineFile.toAbsolutePath());
+			return true;
+		}
+		if (!Files.exists(baselineFile)) {
+			System.out.println("No baseline found at " + baselineFile.toAbsolutePath() + ", skip regression check");
+			return passed;
+		}
+		return compare(results, readBaseline(baselineFile)) && passed;
+	}
+
+	private List<Result> run(final Transport transport) throws KNXException, InterruptedException {
+		final List<Result> results = new ArrayList<>();
+		try (var link = transport.open(); var clients = Workload.Clients.open(link, ResponseTimeout)) {
+			for (final var workload : Workload.values()) {
+				final var result = run(workload, transport, clients);
+				System.out.println(result.toJson());
+				results.add(result);
+			}
+		}
+		return results;
+	}
+
+	private boolean checkErrors(final List<Result> results) {
+		boolean passed = true;
+		for (final var result : results) {
+			final double errorRate = 100.0 * result.errors() / result.operations();
+			if (errorRate > maxErrorRate) {
+				System.out.format(Locale.ROOT, "%s: %d of %d operations failed (%.1f %%, max %.1f %%)%n", result.key(),
+						result.errors(), result.operations(), errorRate, maxErrorRate);
+				passed = false;
+			}
+		}
+		return passed;
+	}
+
+	private Result run(final Workload workload, final Transport transport, final Workload.Clients clients)
+			throws InterruptedException {
+		for (int i = 0; i < warmup; i++) {
+			try {
+				workload.execute(clients, i);
+			}
+			catch (final KNXException ignore) {}
+		}
+
+		final var latencies = new LatencyRecorder();
+		int errors = 0;
+		final long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			final long begin = System.nanoTime();
+			try {
+				workload.execute(clients, i);
+				latencies.record(System.nanoTime() - begin);
+			}
+			catch (final KNXException e) {
+				errors++;
+			}
+		}
+		final double elapsed = (System.nanoTime() - start) / 1e9;
+		return new Result(workload.toString(), transport.toString(), iterations, errors, latencies.count() / elapsed,
+				latencies.percentile(50), latencies.percentile(99), latencies.max());
+	}
+
+	private boolean compare(final List<Result> results, final Map<String, Result> baseline) {
+		boolean passed = true;
+		final Set<String> measured = new HashSet<>();
+		results.forEach(result -> measured.add(result.key()));
+		for (final String key : baseline.keySet()) {
+			if (!measured.contains(key)) {
+				System.out.println(key + ": in baseline, but not measured");
+				passed = false;
+			}
+		}
+		for (final var result : results) {
+			final var base = baseline.get(result.key());
+			if (base == null) {
+				System.out.println(result.key() + ": no baseline");
+				continue;
+			}
+			final double minThroughput = base.throughput() * (1 - maxThroughputDrop / 100);
+			final double maxP99 = base.p99Ms() * (1 + maxP99Increase / 100);
+			if (result.throughput() < minThroughput) {
+				System.out.format(Locale.ROOT, "%s: throughput regression %.2f/s (baseline %.2f/s, min %.2f/s)%n",
+						result.key(), result.throughput(), base.throughput(), minThroughput);
+				passed = false;
+			}
+			if (result.p99Ms() > maxP99) {
+				System.out.format(Locale.ROOT, "%s: p99 latency regression %.3f ms (baseline %.3f ms, max %.3f ms)%n",
+						result.key(), result.p99Ms(), base.p99Ms(), maxP99);
+				passed = false;
+			}
+		}
+		System.out.println(passed ? "No performance regressions" : "Performance regressions detected");
+		return passed;
+	}
+
+	private void writeResults(final Path file, final List<Result> results) throws IOException {
+		final var sb = new StringBuilder();
+		sb.append("{\n");
+		sb.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+		sb.append("  \"iterations\": ").append(iterations).append(",\n");
+		sb.append("  \"results\": [\n");
+		for (int i = 0; i < results.size(); i++) {
+			sb.append("    ").append(results.get(i).toJson());
+			sb.append(i < results.size() - 1 ? ",\n" : "\n");
+		}
+		sb.append("  ]\n}\n");
+		final var parent = file.toAbsolutePath().getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+		Files.writeString(file, sb, UTF_8);
+	}
+
+	// reads back a results file as written by writeResults, one result per line
+	private static Map<String, Result> readBaseline(final Path file) throws IOException {
+		final Map<String, Result> baseline = new HashMap<>();
+		for (final String line : Files.readAllLines(file, UTF_8)) {
+			final Matcher m = resultPattern.matcher(line);
+			if (m.find()) {
+				final var result = new Result(m.group(1), m.group(2), 0, 0, Double.parseDouble(m.group(3)),
+						Double.parseDouble(m.group(4)), Double.parseDouble(m.group(5)), 0);
+				baseline.put(result.key(), result);
+			}
+		}
+		return baseline;
+	}
+
+	private static double doubleProperty(final String key, final double defaultValue) {
+		final String value = System.getProperty(PropertyPrefix + key);
+		return value == null ? defaultValue : Double.parseDouble(value);
+	}
+}
@@ -0,0 +1,226 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.calimero.CloseEvent;
+import io.calimero.FrameEvent;
+import io.calimero.IndividualAddress;
+import io.calimero.KNXAddress;
+import io.calimero.KNXException;
+import io.calimero.Priority;
+import io.calimero.cemi.CEMILData;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.link.NetworkLinkListener;
+import io.calimero.server.VirtualLink;
+
+/**
+ * Shared responder for individual address scans on the virtual subnet. A single device link answers device descriptor
+ * reads (connectionless and connection-oriented) for a set of individual addresses, without a full KNX device per
+ * address. The responder implements just enough of the transport layer for management scans: connect (one connection
+ * per address, a connect from another remote is rejected), disconnect, connection timeout, acknowledgment of
+ * connection-oriented data, and A_DeviceDescriptor_Read.
+ */
+final class ScanResponder implements NetworkLinkListener, AutoCloseable
+{
+	private static final int T_Connect = 0x80;
+	private static final int T_Disconnect = 0x81;
+	private static final int T_DataConnected = 0x40;
+	private static final int T_Ack = 0xc2;
+
+	private static final int DeviceDescRead = 0x300;
+	private static final int DeviceDescResponse = 0x340;
+
+	// mask version of test network devices, see DeviceDescriptor.DD0.TYPE_2705
+	private static final int MaskVersion = 0x2705;
+
+	// transport layer connection timeout [ns]
+	private static final long ConnectionTimeout = TimeUnit.SECONDS.toNanos(6);
+
+	private static final class Connection {
+		final IndividualAddress remote;
+		int recvSeq;
+		int sendSeq;
+		long lastActivity = System.nanoTime();
+
+		Connection(final IndividualAddress remote) { this.remote = remote; }
+	}
+
+	private final Set<IndividualAddress> addresses;
+	private final KNXNetworkLink link;
+	// all protocol handling and connection state is confined to this thread
+	private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+		final var t = new Thread(r, "Scan responder");
+		t.setDaemon(true);
+		return t;
+	});
+	private final Map<IndividualAddress, Connection> connections = new HashMap<>();
+	private final AtomicLong responses = new AtomicLong();
+
+	/**
+	 * Creates a scan responder attached to the virtual subnet.
+	 *
+	 * @param subnet virtual subnet link
+	 * @param link device link address used by the responder, should not be in the set of responding addresses
+	 * @param addresses individual addresses to respond for
+	 * @throws KNXException on error creating the device link
+	 */
+	ScanResponder(final VirtualLink subnet, final IndividualAddress link, final Set<IndividualAddress> addresses)
+			throws KNXException {
+		this.addresses = Set.copyOf(addresses);
+		this.link = subnet.createDeviceLink(link);
+		this.link.addLinkListener(this);
+	}
+
+	/**
+	 * {@return the number of responses sent, including transport layer acknowledgments}
+	 */
+	long responses() { return responses.get(); }
+
+	@Override
+	public void indication(final FrameEvent e) {
+		if (e.getFrame() instanceof final CEMILData ldata && ldata.getDestination() instanceof final IndividualAddress dst
+				&& addresses.contains(dst))
+			worker.execute(() -> onRequest(ldata, dst));
+	}
+
+	@Override
+	public void linkClosed(final CloseEvent e) { worker.shutdown(); }
+
+	@Override
+	public void close() {
+		link.close();
+		worker.shutdown();
+	}
+
+	private void onRequest(final CEMILData ldata, final IndividualAddress dst) {
+		final byte[] tpdu = ldata.getPayload();
+		final var remote = ldata.getSource();
+		final var priority = ldata.getPriority();
+		final int tpci = tpdu[0] & 0xff;
+
+		if (tpci == T_Connect) {
+			final var c = connection(dst);
+			// we're connected to another remote, keep the current connection and reject the newcomer
+			if (c != null && !c.remote.equals(remote))
+				send(dst, remote, priority, (byte) T_Disconnect);
+			else
+				connections.put(dst, new Connection(remote));
+			return;
+		}
+		if (tpci == T_Disconnect) {
+			final var c = connections.get(dst);
+			if (c != null && c.remote.equals(remote))
+				connections.remove(dst);
+			return;
+		}
+		// ignore acks and naks, we don't repeat responses
+		if ((tpci & 0xc0) == 0xc0)
+			return;
+
+		if ((tpci & 0xc0) == T_DataConnected) {
+			final var c = connection(dst);
+			if (c == null || !c.remote.equals(remote)) {
+				send(dst, remote, priority, (byte) T_Disconnect);
+				return;
+			}
+			c.lastActivity = System.nanoTime();
+			final int seq = (tpci >> 2) & 0xf;
+			if (seq == ((c.recvSeq - 1) & 0xf)) {
+				// repeated frame, our ack got lost
+				send(dst, remote, priority, (byte) (T_Ack | seq << 2));
+				return;
+			}
+			if (seq != c.recvSeq)
+				return;
+			send(dst, remote, priority, (byte) (T_Ack | seq << 2));
+			c.recvSeq = (c.recvSeq + 1) & 0xf;
+			final byte[] response = respond(tpdu);
+			if (response != null) {
+				response[0] |= (byte) (T_DataConnected | c.sendSeq << 2);
+				c.sendSeq = (c.sendSeq + 1) & 0xf;
+				send(dst, remote, priority, response);
+			}
+		}
+		else if ((tpci & 0xfc) == 0) {
+			final byte[] response = respond(tpdu);
+			if (response != null)
+				send(dst, remote, priority, response);
+		}
+	}
+
+	// returns the open connection of the responding address, closing the connection on timeout
+	private Connection connection(final IndividualAddress address) {
+		final var c = connections.get(address);
+		if (c != null && System.nanoTime() - c.lastActivity > ConnectionTimeout) {
+			connections.remove(address);
+			return null;
+		}
+		return c;
+	}
+
+	// returns the response tpdu with the tpci bits cleared, or null if we don't support the service
+	private static byte[] respond(final byte[] tpdu) {
+		if (tpdu.length < 2)
+			return null;
+		final int apci = ((tpdu[0] & 0x03) << 8) | (tpdu[1] & 0xff);
+		if ((apci & 0x3c0) != DeviceDescRead)
+			return null;
+		final int descType = apci & 0x3f;
+		if (descType != 0)
+			return new byte[] { (byte) (DeviceDescResponse >> 8), (byte) (DeviceDescResponse | 0x3f) };
+		return new byte[] { (byte) (DeviceDescResponse >> 8), (byte) DeviceDescResponse, (byte) (MaskVersion >> 8),
+			(byte) MaskVersion };
+	}
+
+	private void send(final IndividualAddress src, final KNXAddress dst, final Priority p, final byte... tpdu) {
+		try {
+			link.send(new CEMILData(CEMILData.MC_LDATA_REQ, src, dst, tpdu, p), false);
+			responses.incrementAndGet();
+		}
+		catch (final KNXException e) {
+			// the scan will just see a timeout for this address
+		}
+	}
+}
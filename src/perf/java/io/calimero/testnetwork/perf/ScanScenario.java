@@ -0,0 +1,241 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import io.calimero.IndividualAddress;
+import io.calimero.KNXException;
+import io.calimero.KNXFormatException;
+import io.calimero.internal.Executor;
+import io.calimero.link.KNXNetworkLinkIP;
+import io.calimero.link.medium.TPSettings;
+import io.calimero.mgmt.ManagementClient;
+import io.calimero.mgmt.ManagementClientImpl;
+import io.calimero.testnetwork.TestNetwork;
+
+/**
+ * Individual address scan scenario: starts the test network in-process, lets a {@link ScanResponder} answer for a
+ * subset of the free addresses on line 1.1 (addresses not used in the server configuration or by the test devices),
+ * and scans the whole line over KNXnet/IP tunneling using device descriptor reads.
+ * For every subset, the scenario reports addresses scanned per second and the number of devices found. A scan fails
+ * if it misses any of the responding addresses, the server, or the test devices; the exit code is 1 if any scan
+ * failed or the scenario did not complete.
+ * <p>
+ * The scenario is configured using the following system properties:
+ * <ul>
+ *   <li><code>io.calimero.testnetwork.scan.densities</code>: comma-separated list of the fraction of free addresses
+ *   answering the scan (default <code>0.05,0.5,1</code>)</li>
+ *   <li><code>io.calimero.testnetwork.scan.addresses</code>: comma-separated list of addresses or address ranges
+ *   (e.g., <code>1.1.40-1.1.80</code>) answering the scan, overrides the densities</li>
+ *   <li><code>io.calimero.testnetwork.scan.timeout</code>: response timeout in milliseconds (default 300)</li>
+ *   <li><code>io.calimero.testnetwork.scan.connected</code>: also scan using connection-oriented probes (default
+ *   <code>false</code>); note that every missing address costs the transport layer connect and repetition
+ *   timeouts</li>
+ * </ul>
+ */
+public final class ScanScenario
+{
+	private static final String PropertyPrefix = "io.calimero.testnetwork.scan.";
+
+	private static final int Area = 1;
+	private static final int Line = 1;
+	private static final IndividualAddress responderLink = new IndividualAddress(15, 15, 255);
+
+	private final Duration timeout = Duration.ofMillis(Integer.getInteger(PropertyPrefix + "timeout", 300));
+	private final boolean connected = Boolean.getBoolean(PropertyPrefix + "connected");
+
+	// addresses already used by the test network: server and tunneling addresses, and the test devices
+	private final Set<IndividualAddress> used = new HashSet<>();
+	// addresses answering a device descriptor read in the test network: server and test devices
+	private final Set<IndividualAddress> devices = new HashSet<>();
+
+	private ScanScenario(final String configUri) throws KNXException {
+		devices.add(TestNetwork.programmableDevice);
+		devices.add(TestNetwork.responderDevice);
+		try {
+			final var config = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new File(configUri));
+			final NodeList addresses = config.getElementsByTagName("knxAddress");
+			for (int i = 0; i < addresses.getLength(); i++) {
+				final var element = (Element) addresses.item(i);
+				if (!"individual".equals(element.getAttribute("type")))
+					continue;
+				final var address = new IndividualAddress(element.getTextContent().strip());
+				// additional addresses are assigned to tunneling connections and don't answer
+				if ("additionalAddresses".equals(element.getParentNode().getNodeName()))
+					used.add(address);
+				else
+					devices.add(address);
+			}
+			used.addAll(devices);
+		}
+		catch (IOException | ParserConfigurationException | SAXException e) {
+			throw new KNXException("reading server configuration " + configUri, e);
+		}
+	}
+
+	public static void main(final String[] args) throws InterruptedException {
+		final String configUri = args.length > 0 ? args[args.length - 1] : "server-config.xml";
+		final var network = new TestNetwork(configUri, false);
+		Executor.execute(network, "Test network");
+		boolean passed = false;
+		try {
+			if (!network.awaitRunning(Duration.ofSeconds(30))) {
+				System.err.println("Test network not running - exit");
+				return;
+			}
+			final var scenario = new ScanScenario(configUri);
+			final String addresses = System.getProperty(PropertyPrefix + "addresses");
+			passed = true;
+			if (addresses != null)
+				passed = scenario.run(network, scenario.parse(addresses));
+			else {
+				for (final String density : System.getProperty(PropertyPrefix + "densities", "0.05,0.5,1").split(","))
+					passed &= scenario.run(network, scenario.select(Double.parseDouble(density.strip())));
+			}
+		}
+		catch (final KNXException e) {
+			passed = false;
+			e.printStackTrace();
+		}
+		finally {
+			network.quit();
+			System.exit(passed ? 0 : 1);
+		}
+	}
+
+	private boolean run(final TestNetwork network, final Set<IndividualAddress> responding)
+			throws KNXException, InterruptedException {
+		final var local = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		final var server = new InetSocketAddress(InetAddress.getLoopbackAddress(), 3671);
+		try (var responder = new ScanResponder(network.subnetLink(), responderLink, responding);
+			 var link = KNXNetworkLinkIP.newTunnelingLink(local, server, false, new TPSettings());
+			 var mgmt = new ManagementClientImpl(link)) {
+			mgmt.responseTimeout(timeout);
+			final Set<IndividualAddress> expected = new HashSet<>(responding);
+			for (final var device : devices)
+				if (device.getArea() == Area && device.getLine() == Line)
+					expected.add(device);
+			boolean passed = scan("connectionless", mgmt, false, responding.size(), expected);
+			if (connected)
+				passed &= scan("connection-oriented", mgmt, true, responding.size(), expected);
+			System.out.println("  scan responder sent " + responder.responses() + " frames");
+			return passed;
+		}
+	}
+
+	// returns whether all expected addresses were found
+	private boolean scan(final String mode, final ManagementClient mgmt, final boolean connectionOriented,
+			final int responding, final Set<IndividualAddress> expected) throws KNXException, InterruptedException {
+		final var latencies = new LatencyRecorder();
+		final Set<IndividualAddress> missing = new HashSet<>(expected);
+		int found = 0;
+		final long start = System.nanoTime();
+		for (int device = 0; device < 256; device++) {
+			final long begin = System.nanoTime();
+			final var address = new IndividualAddress(Area, Line, device);
+			try (var dst = mgmt.createDestination(address, connectionOriented)) {
+				mgmt.readDeviceDesc(dst, 0);
+				latencies.record(System.nanoTime() - begin);
+				found++;
+				missing.remove(address);
+			}
+			catch (final KNXException e) {
+				// no response, address is free or device is not reachable
+			}
+		}
+		final double elapsed = (System.nanoTime() - start) / 1e9;
+		System.out.format(Locale.ROOT, "%-19s  responders %3d  found %3d  %7.2f addresses/s  response p50 %.3f ms, "
+				+ "p99 %.3f ms  (%.1f s)%n", mode, responding, found, 256 / elapsed, latencies.percentile(50),
+				latencies.percentile(99), elapsed);
+		if (!missing.isEmpty())
+			System.out.println("  FAILED: " + missing.size() + " of " + expected.size() + " devices not found: "
+					+ missing.stream().sorted(Comparator.comparingInt(IndividualAddress::getRawAddress)).toList());
+		return missing.isEmpty();
+	}
+
+	// evenly spread selection of the free addresses on the line
+	private Set<IndividualAddress> select(final double density) {
+		final List<IndividualAddress> free = new ArrayList<>();
+		for (int device = 1; device < 256; device++) {
+			final var address = new IndividualAddress(Area, Line, device);
+			if (!used.contains(address))
+				free.add(address);
+		}
+		final Set<IndividualAddress> selected = new LinkedHashSet<>();
+		for (int i = 0; i < free.size(); i++)
+			if ((int) ((i + 1) * density) > (int) (i * density))
+				selected.add(free.get(i));
+		return selected;
+	}
+
+	// addresses used by the test network are filtered, otherwise the responder would answer alongside the server or
+	// test devices
+	private Set<IndividualAddress> parse(final String addresses) throws KNXFormatException {
+		final Set<IndividualAddress> set = new LinkedHashSet<>();
+		for (final String s : addresses.split(",")) {
+			final String[] range = s.strip().split("-", 2);
+			final int from = new IndividualAddress(range[0].strip()).getRawAddress();
+			final int to = range.length > 1 ? new IndividualAddress(range[1].strip()).getRawAddress() : from;
+			for (int raw = from; raw <= to; raw++)
+				set.add(new IndividualAddress(raw));
+		}
+		for (final var address : used) {
+			if (set.remove(address))
+				System.out.println("skip " + address + ", already used by the test network");
+		}
+		return set;
+	}
+}
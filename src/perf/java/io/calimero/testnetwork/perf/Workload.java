@@ -0,0 +1,183 @@
+/*
+    Calimero 3 - A library for KNX network access
+    Copyright (c) 2026 B. Malinowsky
+
+    This program is free software; you can redistribute it and/or modify
+    it under the terms of the GNU General Public License as published by
+    the Free Software Foundation; either version 2 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+    GNU General Public License for more details.
+
+    You should have received a copy of the GNU General Public License
+    along with this program; if not, write to the Free Software
+    Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+
+    Linking this library statically or dynamically with other modules is
+    making a combined work based on this library. Thus, the terms and
+    conditions of the GNU General Public License cover the whole
+    combination.
+
+    As a special exception, the copyright holders of this library give you
+    permission to link this library with independent modules to produce an
+    executable, regardless of the license terms of these independent
+    modules, and to copy and distribute the resulting executable under terms
+    of your choice, provided that you also meet, for each linked independent
+    module, the terms and conditions of the license of that module. An
+    independent module is a module which is not derived from or based on
+    this library. If you modify this library, you may extend this exception
+    to your version of the library, but you are not obligated to do so. If
+    you do not wish to do so, delete this exception statement from your
+    version.
+*/
+
+package io.calimero.testnetwork.perf;
+
+import java.time.Duration;
+
+import io.calimero.GroupAddress;
+import io.calimero.KNXException;
+import io.calimero.link.KNXNetworkLink;
+import io.calimero.mgmt.Destination;
+import io.calimero.mgmt.ManagementClient;
+import io.calimero.mgmt.ManagementClientImpl;
+import io.calimero.mgmt.PropertyAccess.PID;
+import io.calimero.process.ProcessCommunicator;
+import io.calimero.process.ProcessCommunicatorImpl;
+import io.calimero.testnetwork.TestNetwork;
+
+/**
+ * End-to-end workloads of the performance suite. A single execution of a workload is one measured operation, i.e.,
+ * throughput and latency of the burst workloads refer to a complete burst.
+ */
+enum Workload
+{
+	/** Writes and reads back the boolean datapoint 1/0/1, answered by the responder device. */
+	GroupWriteRead("group-write-read") {
+		@Override
+		void execute(final Clients clients, final int iteration) throws KNXException, InterruptedException {
+			clients.pc().write(BoolDatapoint, (iteration & 1) == 0);
+			clients.pc().readBool(BoolDatapoint);
+		}
+	},
+
+	/**
+	 * Issues a burst of back-to-back reads of the serial number property of the device object, using a
+	 * connection-oriented destination. The transport layer allows only one outstanding request per connection, so
+	 * requests are not pipelined, but sent without delay as soon as the previous response arrived.
+	 */
+	PropertyReadBurst("property-read-burst") {
+		@Override
+		void execute(final Clients clients, final int iteration) throws KNXException, InterruptedException {
+			for (int i = 0; i < BurstSize; i++)
+				clients.mgmt().readProperty(clients.device(), 0, PID.SERIAL_NUMBER, 1, 1);
+		}
+	},
+
+	/**
+	 * Issues a burst of back-to-back reads of consecutive 8 byte blocks of device memory, using a
+	 * connection-oriented destination.
+	 */
+	MemoryReadBurst("memory-read-burst") {
+		@Override
+		void execute(final Clients clients, final int iteration) throws KNXException, InterruptedException {
+			final int startAddress = (iteration % 10) * BurstSize * 8;
+			for (int i = 0; i < BurstSize; i++)
+				clients.mgmt().readMemory(clients.device(), startAddress + i * 8, 8);
+		}
+	},
+
+	/** Reads device descriptor type 0 of every test network device in connectionless mode. */
+	DeviceDescriptorScan("device-descriptor-scan") {
+		@Override
+		void execute(final Clients clients, final int iteration) throws KNXException, InterruptedException {
+			for (final Destination dst : clients.scanned())
+				clients.mgmt().readDeviceDesc(dst, 0);
+		}
+	};
+
+	// requests per burst
+	private static final int BurstSize = 8;
+
+	private static final GroupAddress BoolDatapoint = new GroupAddress(1, 0, 1);
+
+	private final String friendlyName;
+
+	Workload(final String friendlyName) { this.friendlyName = friendlyName; }
+
+	abstract void execute(Clients clients, int iteration) throws KNXException, InterruptedException;
+
+	@Override
+	public String toString() { return friendlyName; }
+
+	/**
+	 * The calimero-core clients used by the workloads, all attached to the same network link.
+	 * Management requests use a single transport layer, which keeps at most one destination per device: the
+	 * connection-oriented destination of the bursts is closed before the connectionless destinations of the scan are
+	 * created, and vice versa. A second transport layer on the same link would also receive the connection-oriented
+	 * frames of the device, and might answer them.
+	 */
+	static final class Clients implements AutoCloseable {
+		private final ProcessCommunicator pc;
+		private final ManagementClient mgmt;
+		private Destination device;
+		private Destination[] scanned = {};
+
+		static Clients open(final KNXNetworkLink link, final Duration responseTimeout) throws KNXException {
+			return new Clients(link, responseTimeout);
+		}
+
+		private Clients(final KNXNetworkLink link, final Duration responseTimeout) throws KNXException {
+			pc = new ProcessCommunicatorImpl(link);
+			pc.responseTimeout(responseTimeout);
+			mgmt = new ManagementClientImpl(link);
+			mgmt.responseTimeout(responseTimeout);
+		}
+
+		ProcessCommunicator pc() { return pc; }
+
+		ManagementClient mgmt() { return mgmt; }
+
+		// connection-oriented destination of the programmable device
+		Destination device() {
+			if (device == null) {
+				closeScanned();
+				device = mgmt.createDestination(TestNetwork.programmableDevice, true);
+			}
+			return device;
+		}
+
+		// connectionless destinations of all test network devices
+		Destination[] scanned() {
+			if (scanned.length == 0) {
+				closeDevice();
+				scanned = new Destination[] { mgmt.createDestination(TestNetwork.programmableDevice, false),
+					mgmt.createDestination(TestNetwork.responderDevice, false) };
+			}
+			return scanned;
+		}
+
+		@Override
+		public void close() {
+			closeDevice();
+			closeScanned();
+			pc.close();
+			mgmt.close();
+		}
+
+		private void closeDevice() {
+			if (device != null)
+				device.close();
+			device = null;
+		}
+
+		private void closeScanned() {
+			for (final var dst : scanned)
+				dst.close();
+			scanned = new Destination[0];
+		}
+	}
+}